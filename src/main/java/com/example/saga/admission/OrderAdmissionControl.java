@@ -0,0 +1,336 @@
+package com.example.saga.admission;
+
+import com.example.saga.config.KafkaTopicConfig;
+import com.example.saga.events.SagaStatusChangedEvent;
+import com.example.saga.model.OrderSaga;
+import com.example.saga.repository.OrderSagaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admission control for order intake.
+ *
+ * Tracks the number of sagas in flight and the consumer lag of the payment and
+ * inventory participants. New orders are shed once either crosses its threshold.
+ * The in-flight limit adapts (additive increase, multiplicative decrease) to keep
+ * the observed end-to-end saga p99 within the configured target.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAdmissionControl {
+
+    private static final String PAYMENT_GROUP = "payment-service-group";
+    private static final String INVENTORY_GROUP = "inventory-service-group";
+
+    // Lag readings older than this many refresh intervals are ignored
+    private static final int LAG_STALE_REFRESHES = 3;
+
+    public enum Decision {
+        ADMITTED,
+        IN_FLIGHT_LIMIT,
+        CONSUMER_LAG
+    }
+
+    private final KafkaAdmin kafkaAdmin;
+    private final OrderSagaRepository sagaRepository;
+
+    @Value("${saga.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${saga.admission.min-in-flight:5}")
+    private int minInFlight;
+
+    @Value("${saga.admission.max-in-flight:50}")
+    private int maxInFlight;
+
+    @Value("${saga.admission.max-consumer-lag:10}")
+    private long maxConsumerLag;
+
+    @Value("${saga.admission.target-p99-ms:10000}")
+    private long targetP99Ms;
+
+    @Value("${saga.admission.decrease-factor:0.8}")
+    private double decreaseFactor;
+
+    @Value("${saga.admission.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    @Value("${saga.admission.lag-refresh-ms:2000}")
+    private long lagRefreshMs;
+
+    @Value("${saga.admission.in-flight-deadline-ms:300000}")
+    private long inFlightDeadlineMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Started sagas holding a slot, with the System.nanoTime() they were admitted at
+    private final Map<String, Long> admittedSagas = new ConcurrentHashMap<>();
+    private final AtomicInteger limit = new AtomicInteger(-1);
+    private final Queue<Long> latencySamples = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Decision> shedding = new AtomicReference<>();
+    private final AtomicLong shedCount = new AtomicLong();
+
+    private volatile LagReading lag;
+    private volatile AdminClient adminClient;
+
+    private record LagReading(long payment, long inventory, long readAtNanos) {
+    }
+
+    /**
+     * Tries to reserve a slot for a new saga. Callers that get {@link Decision#ADMITTED}
+     * must either hand the slot to the started saga with {@link #admitted(String)} or
+     * return it with {@link #release()}.
+     */
+    public Decision tryAcquire() {
+        if (!enabled) {
+            inFlight.incrementAndGet();
+            return Decision.ADMITTED;
+        }
+        LagReading reading = currentLag();
+        if (reading != null && Math.max(reading.payment(), reading.inventory()) > maxConsumerLag) {
+            return shed(Decision.CONSUMER_LAG, "consumer lag payment: {}, inventory: {}, threshold: {}",
+                    reading.payment(), reading.inventory(), maxConsumerLag);
+        }
+        int currentLimit = currentLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return shed(Decision.IN_FLIGHT_LIMIT, "in-flight sagas: {}, limit: {}", current, currentLimit);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                stopShedding();
+                return Decision.ADMITTED;
+            }
+        }
+    }
+
+    /**
+     * Binds a slot taken by {@link #tryAcquire()} to the saga that was started with it.
+     */
+    public void admitted(String orderId) {
+        admittedSagas.putIfAbsent(orderId, System.nanoTime());
+    }
+
+    /**
+     * Returns a slot taken by {@link #tryAcquire()} for a saga that never started.
+     */
+    public void release() {
+        if (inFlight.decrementAndGet() < 0) {
+            log.error("In-flight saga count went negative - a slot was released twice");
+        }
+    }
+
+    /**
+     * Frees the slot of a saga once its terminal status has been committed. The slot
+     * is keyed by orderId, so a redelivered terminal transition cannot free it twice.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(SagaStatusChangedEvent event) {
+        if (!event.getStatus().isTerminal() || !finish(event.getOrderId())) {
+            return;
+        }
+        if (event.getCreatedAt() != null) {
+            latencySamples.add(Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis());
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Reclaims slots whose release was missed: sagas that finished before they were
+     * bound, sagas that no longer exist, and sagas stuck past the in-flight deadline.
+     */
+    @Scheduled(fixedDelayString = "${saga.admission.reconcile-interval-ms:10000}")
+    public void reconcileInFlight() {
+        Set<String> orderIds = Set.copyOf(admittedSagas.keySet());
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Map<String, OrderSaga> sagas = sagaRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.toMap(OrderSaga::getOrderId, Function.identity()));
+        long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(inFlightDeadlineMs);
+        long now = System.nanoTime();
+
+        int finished = 0;
+        int expired = 0;
+        for (String orderId : orderIds) {
+            OrderSaga saga = sagas.get(orderId);
+            Long admittedAt = admittedSagas.get(orderId);
+            if (admittedAt == null) {
+                continue;
+            }
+            if (saga == null || saga.getStatus().isTerminal()) {
+                finished += finish(orderId) ? 1 : 0;
+            } else if (now - admittedAt > deadlineNanos) {
+                expired += finish(orderId) ? 1 : 0;
+            }
+        }
+        if (finished > 0 || expired > 0) {
+            log.warn("Reclaimed in-flight slots - finished or missing: {}, past deadline: {}", finished, expired);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${saga.admission.lag-refresh-ms:2000}")
+    public void refreshConsumerLag() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            recordConsumerLag(consumerLag(PAYMENT_GROUP, KafkaTopicConfig.PAYMENT_EVENTS_TOPIC),
+                    consumerLag(INVENTORY_GROUP, KafkaTopicConfig.INVENTORY_EVENTS_TOPIC),
+                    System.nanoTime());
+        } catch (Exception e) {
+            log.warn("Could not refresh consumer lag: {}", e.getMessage());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${saga.admission.adjust-interval-ms:5000}")
+    public void adjustLimit() {
+        List<Long> samples = new ArrayList<>();
+        Long sample;
+        while ((sample = latencySamples.poll()) != null) {
+            samples.add(sample);
+        }
+        if (samples.isEmpty()) {
+            return;
+        }
+        Collections.sort(samples);
+        long p99 = percentile(samples, 0.99);
+
+        int previous = currentLimit();
+        int next = p99 > targetP99Ms
+                ? Math.max(minInFlight, (int) (previous * decreaseFactor))
+                : Math.min(maxInFlight, previous + 1);
+        limit.set(next);
+        if (next != previous) {
+            log.info("Admission limit adjusted from {} to {} (p99: {} ms, target: {} ms, samples: {})",
+                    previous, next, p99, targetP99Ms, samples.size());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (adminClient != null) {
+            adminClient.close(Duration.ofSeconds(1));
+        }
+    }
+
+    static long percentile(List<Long> sorted, double fraction) {
+        int index = (int) Math.ceil(sorted.size() * fraction) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    int currentLimit() {
+        limit.compareAndSet(-1, maxInFlight);
+        return limit.get();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    void recordConsumerLag(long paymentLag, long inventoryLag, long readAtNanos) {
+        lag = new LagReading(paymentLag, inventoryLag, readAtNanos);
+        log.debug("Consumer lag - payment: {}, inventory: {}", paymentLag, inventoryLag);
+    }
+
+    private boolean finish(String orderId) {
+        if (admittedSagas.remove(orderId) == null) {
+            return false;
+        }
+        release();
+        return true;
+    }
+
+    private LagReading currentLag() {
+        LagReading reading = lag;
+        long maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(lagRefreshMs * LAG_STALE_REFRESHES);
+        if (reading == null || System.nanoTime() - reading.readAtNanos() > maxAgeNanos) {
+            return null;
+        }
+        return reading;
+    }
+
+    private Decision shed(Decision reason, String detail, Object... args) {
+        shedCount.incrementAndGet();
+        if (shedding.getAndSet(reason) != reason) {
+            log.warn("Started shedding orders (" + reason + ") - " + detail, args);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Shedding order (" + reason + ") - " + detail, args);
+        }
+        return reason;
+    }
+
+    private void stopShedding() {
+        if (shedding.get() != null && shedding.getAndSet(null) != null) {
+            log.info("Stopped shedding orders after {} rejections", shedCount.getAndSet(0));
+        }
+    }
+
+    private long consumerLag(String groupId, String topic) throws Exception {
+        AdminClient admin = adminClient();
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(1, TimeUnit.SECONDS)
+                .entrySet().stream()
+                .filter(entry -> entry.getKey().topic().equals(topic) && entry.getValue() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (committed.isEmpty()) {
+            return 0;
+        }
+
+        Map<TopicPartition, OffsetSpec> request = committed.keySet().stream()
+                .collect(Collectors.toMap(partition -> partition, partition -> OffsetSpec.latest()));
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = admin.listOffsets(request)
+                .all()
+                .get(1, TimeUnit.SECONDS);
+
+        return committed.entrySet().stream()
+                .mapToLong(entry -> Math.max(0, endOffsets.get(entry.getKey()).offset() - entry.getValue().offset()))
+                .sum();
+    }
+
+    private AdminClient adminClient() {
+        if (adminClient == null) {
+            synchronized (this) {
+                if (adminClient == null) {
+                    adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+                }
+            }
+        }
+        return adminClient;
+    }
+}
@@ -1,17 +1,24 @@
 package com.example.saga.controller;
 
+import com.example.saga.admission.OrderAdmissionControl;
 import com.example.saga.dto.OrderRequest;
 import com.example.saga.dto.OrderResponse;
 import com.example.saga.model.OrderSaga;
+import com.example.saga.model.SagaStatus;
 import com.example.saga.orchestrator.SagaOrchestrator;
 import com.example.saga.repository.OrderSagaRepository;
+import com.example.saga.stream.SagaStatusStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -21,13 +28,28 @@ public class OrderController {
     
     private final SagaOrchestrator sagaOrchestrator;
     private final OrderSagaRepository sagaRepository;
+    private final OrderAdmissionControl admissionControl;
+    private final SagaStatusStream sagaStatusStream;
     
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@RequestBody OrderRequest request) {
         log.info("Received order request: {}", request);
         
+        OrderAdmissionControl.Decision decision = admissionControl.tryAcquire();
+        if (decision != OrderAdmissionControl.Decision.ADMITTED) {
+            String reason = decision == OrderAdmissionControl.Decision.CONSUMER_LAG
+                    ? "downstream services are lagging"
+                    : "too many orders are in flight";
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.getRetryAfterSeconds()))
+                    .body(OrderResponse.builder()
+                            .message("Order intake is throttled, " + reason)
+                            .build());
+        }
+        
         try {
             OrderSaga saga = sagaOrchestrator.startSaga(request);
+            admissionControl.admitted(saga.getOrderId());
             
             OrderResponse response = OrderResponse.builder()
                     .orderId(saga.getOrderId())
@@ -38,6 +60,7 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             log.error("Error creating order", e);
+            admissionControl.release();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(OrderResponse.builder()
                             .message("Failed to create order: " + e.getMessage())
@@ -59,4 +82,19 @@ public class OrderController {
         log.info("Fetching all orders");
         return ResponseEntity.ok(sagaRepository.findAll());
     }
+    
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable String orderId) {
+        log.info("Streaming order status for orderId: {}", orderId);
+        
+        return sagaStatusStream.subscribe(orderId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllOrderStatuses(@RequestParam(required = false) Set<SagaStatus> status) {
+        log.info("Streaming order statuses, filter: {}", status);
+        return sagaStatusStream.subscribeAll(status);
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.saga.events;
+
+import com.example.saga.model.SagaStatus;
+import com.example.saga.model.SagaStep;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SagaStatusChangedEvent {
+    private String orderId;
+    private SagaStatus status;
+    private SagaStep currentStep;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -8,5 +8,9 @@ public enum SagaStatus {
     COMPLETED,
     FAILED,
     COMPENSATING,
-    COMPENSATED
+    COMPENSATED;
+    
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == COMPENSATED;
+    }
 }
@@ -9,6 +9,7 @@ import com.example.saga.model.SagaStep;
 import com.example.saga.repository.OrderSagaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,7 @@ public class SagaOrchestrator {
     
     private final OrderSagaRepository sagaRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public OrderSaga startSaga(OrderRequest request) {
@@ -80,6 +82,13 @@ public class SagaOrchestrator {
         OrderSaga saga = sagaRepository.findByOrderId(event.getOrderId())
                 .orElseThrow(() -> new RuntimeException("Saga not found for orderId: " + event.getOrderId()));
         
+        // A redelivered reply must not replay a step the saga has already moved past
+        if (saga.getStatus() != SagaStatus.ORDER_CREATED) {
+            log.warn("Ignoring duplicate payment processed event for orderId: {}, status: {}", 
+                    event.getOrderId(), saga.getStatus());
+            return;
+        }
+        
         if (event.isSuccess()) {
             saga.setPaymentId(event.getPaymentId());
             updateSagaStatus(saga, SagaStatus.PAYMENT_PROCESSED, SagaStep.RESERVE_INVENTORY);
@@ -110,6 +119,13 @@ public class SagaOrchestrator {
         OrderSaga saga = sagaRepository.findByOrderId(event.getOrderId())
                 .orElseThrow(() -> new RuntimeException("Saga not found for orderId: " + event.getOrderId()));
         
+        // A redelivered reply must not replay a step the saga has already moved past
+        if (saga.getStatus() != SagaStatus.PAYMENT_PROCESSED) {
+            log.warn("Ignoring duplicate inventory reserved event for orderId: {}, status: {}", 
+                    event.getOrderId(), saga.getStatus());
+            return;
+        }
+        
         if (event.isSuccess()) {
             saga.setReservationId(event.getReservationId());
             updateSagaStatus(saga, SagaStatus.INVENTORY_RESERVED, SagaStep.COMPLETE_ORDER);
@@ -154,10 +170,23 @@ public class SagaOrchestrator {
     }
     
     private void updateSagaStatus(OrderSaga saga, SagaStatus status, SagaStep step) {
+        boolean transitioned = saga.getStatus() != status;
         saga.setStatus(status);
         saga.setCurrentStep(step);
-        sagaRepository.save(saga);
+        // Flush so updatedAt carries the persisted value that stream subscribers compare against
+        sagaRepository.saveAndFlush(saga);
         log.info("Saga updated - OrderId: {}, Status: {}, Step: {}", 
                 saga.getOrderId(), status, step);
+        
+        // A redelivered event must not announce the same transition twice
+        if (transitioned) {
+            eventPublisher.publishEvent(SagaStatusChangedEvent.builder()
+                    .orderId(saga.getOrderId())
+                    .status(status)
+                    .currentStep(step)
+                    .createdAt(saga.getCreatedAt())
+                    .updatedAt(saga.getUpdatedAt())
+                    .build());
+        }
     }
 }
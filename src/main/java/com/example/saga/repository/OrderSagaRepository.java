@@ -4,9 +4,13 @@ import com.example.saga.model.OrderSaga;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderSagaRepository extends JpaRepository<OrderSaga, Long> {
     Optional<OrderSaga> findByOrderId(String orderId);
+    
+    List<OrderSaga> findByOrderIdIn(Collection<String> orderIds);
 }
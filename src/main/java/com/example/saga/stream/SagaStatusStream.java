@@ -0,0 +1,230 @@
+package com.example.saga.stream;
+
+import com.example.saga.events.SagaStatusChangedEvent;
+import com.example.saga.model.SagaStatus;
+import com.example.saga.repository.OrderSagaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes saga status transitions to Server-Sent Events subscribers.
+ *
+ * Transitions are delivered after the orchestrator's transaction commits, so a
+ * subscriber never sees a status that a subsequent read could not confirm.
+ * Publishing only enqueues: each subscriber has a bounded queue drained on a
+ * virtual thread, and a subscriber whose queue overflows is dropped. Per-order
+ * streams are completed once the saga reaches a terminal status.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaStatusStream {
+
+    private static final String EVENT_NAME = "saga-status";
+
+    private final OrderSagaRepository sagaRepository;
+
+    @Value("${saga.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${saga.stream.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Set<Subscriber>> orderSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> firehoseSubscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Opens a stream for one saga, starting with its current status, or returns
+     * empty if the saga does not exist.
+     */
+    public Optional<SseEmitter> subscribe(String orderId) {
+        Subscriber subscriber = new Subscriber(Set.of(), true);
+        Set<Subscriber> subscribers = orderSubscribers.computeIfAbsent(orderId, key -> ConcurrentHashMap.newKeySet());
+        subscribers.add(subscriber);
+        subscriber.onClose(() -> orderSubscribers.computeIfPresent(orderId, (key, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        }));
+
+        // Load the snapshot only after registering, so a transition committed in
+        // between is queued as well; the subscriber drops whichever copy is stale
+        return sagaRepository.findByOrderId(orderId)
+                .map(saga -> {
+                    subscriber.offer(SagaStatusChangedEvent.builder()
+                            .orderId(orderId)
+                            .status(saga.getStatus())
+                            .currentStep(saga.getCurrentStep())
+                            .createdAt(saga.getCreatedAt())
+                            .updatedAt(saga.getUpdatedAt())
+                            .build());
+                    return subscriber.emitter;
+                })
+                .or(() -> {
+                    subscriber.close();
+                    return Optional.empty();
+                });
+    }
+
+    /**
+     * Opens a stream of transitions for all sagas, optionally limited to the given statuses.
+     */
+    public SseEmitter subscribeAll(Set<SagaStatus> statuses) {
+        Subscriber subscriber = new Subscriber(statuses == null ? Set.of() : Set.copyOf(statuses), false);
+        firehoseSubscribers.add(subscriber);
+        subscriber.onClose(() -> firehoseSubscribers.remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(SagaStatusChangedEvent event) {
+        Set<Subscriber> subscribers = orderSubscribers.get(event.getOrderId());
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+        firehoseSubscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    @Scheduled(fixedDelayString = "${saga.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        // Comment frames keep idle connections alive and flush out dead ones
+        String ping = "ping " + LocalDateTime.now();
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(ping)));
+        firehoseSubscribers.forEach(subscriber -> subscriber.offer(ping));
+        log.debug("SSE heartbeat - order streams: {}, firehose streams: {}",
+                orderSubscribers.size(), firehoseSubscribers.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    /**
+     * One SSE connection. Items are {@link SagaStatusChangedEvent}s or heartbeat
+     * comments; at most one drain task runs at a time, so sends stay in order.
+     */
+    private class Subscriber {
+
+        private final SseEmitter emitter = createEmitter();
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Set<SagaStatus> filter;
+        private final boolean singleOrder;
+        private Runnable unregister = () -> { };
+
+        // Only touched by the drain task
+        private SagaStatusChangedEvent lastSent;
+
+        Subscriber(Set<SagaStatus> filter, boolean singleOrder) {
+            this.filter = filter;
+            this.singleOrder = singleOrder;
+        }
+
+        void onClose(Runnable unregister) {
+            this.unregister = unregister;
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(e -> close());
+        }
+
+        void offer(Object item) {
+            if (closed.get()) {
+                return;
+            }
+            if (item instanceof SagaStatusChangedEvent event
+                    && !filter.isEmpty() && !filter.contains(event.getStatus())) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                log.debug("Dropping slow SSE subscriber, {} items queued", queue.size());
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                unregister.run();
+                queue.clear();
+            }
+        }
+
+        private void drain() {
+            Object item;
+            while (!closed.get() && (item = queue.poll()) != null) {
+                deliver(item);
+            }
+            draining.set(false);
+            // Pick up items offered after the last poll but before the flag was cleared
+            if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void deliver(Object item) {
+            if (item instanceof SagaStatusChangedEvent event) {
+                if (singleOrder && isStale(event)) {
+                    return;
+                }
+                if (send(SseEmitter.event().name(EVENT_NAME).data(event, MediaType.APPLICATION_JSON))) {
+                    lastSent = event;
+                    if (singleOrder && event.getStatus().isTerminal()) {
+                        close();
+                        emitter.complete();
+                    }
+                }
+            } else {
+                send(SseEmitter.event().comment(item.toString()));
+            }
+        }
+
+        private boolean isStale(SagaStatusChangedEvent event) {
+            if (lastSent == null || event.getUpdatedAt() == null || lastSent.getUpdatedAt() == null) {
+                return false;
+            }
+            int order = event.getUpdatedAt().compareTo(lastSent.getUpdatedAt());
+            return order < 0 || (order == 0 && event.getStatus() == lastSent.getStatus());
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping SSE subscriber: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
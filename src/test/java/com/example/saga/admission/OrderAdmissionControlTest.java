@@ -0,0 +1,262 @@
+package com.example.saga.admission;
+
+import com.example.saga.events.SagaStatusChangedEvent;
+import com.example.saga.model.OrderSaga;
+import com.example.saga.model.SagaStatus;
+import com.example.saga.repository.OrderSagaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderAdmissionControlTest {
+
+	private final AtomicInteger orderSequence = new AtomicInteger();
+
+	private OrderSagaRepository sagaRepository;
+	private OrderAdmissionControl admissionControl;
+
+	@BeforeEach
+	void setUp() {
+		sagaRepository = mock(OrderSagaRepository.class);
+		admissionControl = new OrderAdmissionControl(mock(KafkaAdmin.class), sagaRepository);
+		ReflectionTestUtils.setField(admissionControl, "enabled", true);
+		ReflectionTestUtils.setField(admissionControl, "minInFlight", 5);
+		ReflectionTestUtils.setField(admissionControl, "maxInFlight", 40);
+		ReflectionTestUtils.setField(admissionControl, "maxConsumerLag", 100L);
+		ReflectionTestUtils.setField(admissionControl, "targetP99Ms", 1000L);
+		ReflectionTestUtils.setField(admissionControl, "decreaseFactor", 0.5);
+		ReflectionTestUtils.setField(admissionControl, "lagRefreshMs", 2000L);
+		ReflectionTestUtils.setField(admissionControl, "inFlightDeadlineMs", 60000L);
+	}
+
+	@Test
+	void percentileUsesNearestRankIndex() {
+		List<Long> hundred = LongStream.rangeClosed(1, 100).boxed().toList();
+		assertThat(OrderAdmissionControl.percentile(hundred, 0.99)).isEqualTo(99L);
+
+		List<Long> fifty = LongStream.rangeClosed(1, 50).boxed().toList();
+		assertThat(OrderAdmissionControl.percentile(fifty, 0.99)).isEqualTo(50L);
+
+		assertThat(OrderAdmissionControl.percentile(List.of(7L), 0.99)).isEqualTo(7L);
+	}
+
+	@Test
+	void limitDecreasesMultiplicativelyWhenP99ExceedsTarget() {
+		finishSagaTakingMillis(5000);
+
+		admissionControl.adjustLimit();
+
+		// 40 * 0.5 lands strictly between min (5) and max (40)
+		assertThat(admissionControl.currentLimit()).isEqualTo(20);
+
+		finishSagaTakingMillis(5000);
+		admissionControl.adjustLimit();
+
+		assertThat(admissionControl.currentLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void limitNeverDropsBelowMinimum() {
+		for (int i = 0; i < 5; i++) {
+			finishSagaTakingMillis(5000);
+			admissionControl.adjustLimit();
+		}
+
+		assertThat(admissionControl.currentLimit()).isEqualTo(5);
+	}
+
+	@Test
+	void limitIncreasesAdditivelyUpToMaximum() {
+		finishSagaTakingMillis(5000);
+		admissionControl.adjustLimit();
+
+		finishSagaTakingMillis(10);
+		admissionControl.adjustLimit();
+		assertThat(admissionControl.currentLimit()).isEqualTo(21);
+
+		for (int i = 0; i < 30; i++) {
+			finishSagaTakingMillis(10);
+			admissionControl.adjustLimit();
+		}
+		assertThat(admissionControl.currentLimit()).isEqualTo(40);
+	}
+
+	@Test
+	void limitIsUnchangedWithoutSamples() {
+		admissionControl.adjustLimit();
+
+		assertThat(admissionControl.currentLimit()).isEqualTo(40);
+	}
+
+	@Test
+	void shedsOnceInFlightLimitIsReached() {
+		for (int i = 0; i < 40; i++) {
+			assertThat(admissionControl.tryAcquire()).isEqualTo(OrderAdmissionControl.Decision.ADMITTED);
+		}
+
+		assertThat(admissionControl.tryAcquire()).isEqualTo(OrderAdmissionControl.Decision.IN_FLIGHT_LIMIT);
+		assertThat(admissionControl.inFlight()).isEqualTo(40);
+
+		admissionControl.release();
+		assertThat(admissionControl.tryAcquire()).isEqualTo(OrderAdmissionControl.Decision.ADMITTED);
+	}
+
+	@Test
+	void concurrentAcquiresNeverExceedLimit() throws Exception {
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				int admitted = 0;
+				for (int i = 0; i < 100; i++) {
+					if (admissionControl.tryAcquire() == OrderAdmissionControl.Decision.ADMITTED) {
+						admitted++;
+					}
+				}
+				return admitted;
+			}));
+		}
+		start.countDown();
+
+		int admitted = 0;
+		for (Future<Integer> result : results) {
+			admitted += result.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		assertThat(admitted).isEqualTo(40);
+		assertThat(admissionControl.inFlight()).isEqualTo(40);
+	}
+
+	@Test
+	void shedsWhileConsumerLagIsAboveThreshold() {
+		admissionControl.recordConsumerLag(150, 0, System.nanoTime());
+
+		assertThat(admissionControl.tryAcquire()).isEqualTo(OrderAdmissionControl.Decision.CONSUMER_LAG);
+
+		admissionControl.recordConsumerLag(50, 50, System.nanoTime());
+
+		assertThat(admissionControl.tryAcquire()).isEqualTo(OrderAdmissionControl.Decision.ADMITTED);
+	}
+
+	@Test
+	void ignoresStaleConsumerLag() {
+		long staleReadAt = System.nanoTime() - TimeUnit.SECONDS.toNanos(10);
+		admissionControl.recordConsumerLag(150, 150, staleReadAt);
+
+		assertThat(admissionControl.tryAcquire()).isEqualTo(OrderAdmissionControl.Decision.ADMITTED);
+	}
+
+	@Test
+	void terminalTransitionFreesSlotOnce() {
+		admit("order-1");
+
+		admissionControl.onStatusChanged(event("order-1", SagaStatus.PAYMENT_PROCESSED, LocalDateTime.now()));
+		assertThat(admissionControl.inFlight()).isEqualTo(1);
+
+		admissionControl.onStatusChanged(event("order-1", SagaStatus.COMPLETED, LocalDateTime.now()));
+		assertThat(admissionControl.inFlight()).isZero();
+
+		admissionControl.onStatusChanged(event("order-1", SagaStatus.COMPLETED, LocalDateTime.now()));
+		assertThat(admissionControl.inFlight()).isZero();
+	}
+
+	@Test
+	void terminalTransitionOfUnknownSagaKeepsOtherSlots() {
+		admit("order-1");
+
+		admissionControl.onStatusChanged(event("order-2", SagaStatus.FAILED, LocalDateTime.now()));
+
+		assertThat(admissionControl.inFlight()).isEqualTo(1);
+	}
+
+	@Test
+	void reconcileReclaimsFinishedAndMissingSagas() {
+		admit("finished");
+		admit("missing");
+		admit("active");
+		when(sagaRepository.findByOrderIdIn(anyCollection())).thenReturn(List.of(
+				saga("finished", SagaStatus.COMPLETED),
+				saga("active", SagaStatus.PAYMENT_PROCESSED)));
+
+		admissionControl.reconcileInFlight();
+		assertThat(admissionControl.inFlight()).isEqualTo(1);
+
+		// The after-commit listener of the finished saga arriving late must not free another slot
+		admissionControl.onStatusChanged(event("finished", SagaStatus.COMPLETED, LocalDateTime.now()));
+		assertThat(admissionControl.inFlight()).isEqualTo(1);
+	}
+
+	@Test
+	void reconcileReclaimsSagasPastDeadlineOnce() {
+		ReflectionTestUtils.setField(admissionControl, "inFlightDeadlineMs", 0L);
+		admit("stuck");
+		when(sagaRepository.findByOrderIdIn(anyCollection())).thenReturn(List.of(
+				saga("stuck", SagaStatus.PAYMENT_PROCESSED)));
+
+		admissionControl.reconcileInFlight();
+		assertThat(admissionControl.inFlight()).isZero();
+
+		admissionControl.onStatusChanged(event("stuck", SagaStatus.COMPLETED, LocalDateTime.now()));
+		assertThat(admissionControl.inFlight()).isZero();
+	}
+
+	@Test
+	void reconcileLeavesSlotsOfSagasBeingStarted() {
+		admissionControl.tryAcquire();
+
+		admissionControl.reconcileInFlight();
+
+		assertThat(admissionControl.inFlight()).isEqualTo(1);
+		verify(sagaRepository, never()).findByOrderIdIn(anyCollection());
+	}
+
+	private void admit(String orderId) {
+		assertThat(admissionControl.tryAcquire()).isEqualTo(OrderAdmissionControl.Decision.ADMITTED);
+		admissionControl.admitted(orderId);
+	}
+
+	private void finishSagaTakingMillis(long millis) {
+		String orderId = "order-" + orderSequence.incrementAndGet();
+		admit(orderId);
+		admissionControl.onStatusChanged(event(orderId, SagaStatus.COMPLETED,
+				LocalDateTime.now().minusNanos(millis * 1_000_000)));
+	}
+
+	private static SagaStatusChangedEvent event(String orderId, SagaStatus status, LocalDateTime createdAt) {
+		return SagaStatusChangedEvent.builder()
+				.orderId(orderId)
+				.status(status)
+				.createdAt(createdAt)
+				.build();
+	}
+
+	private static OrderSaga saga(String orderId, SagaStatus status) {
+		return OrderSaga.builder()
+				.orderId(orderId)
+				.status(status)
+				.build();
+	}
+}
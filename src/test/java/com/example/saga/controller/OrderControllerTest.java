@@ -0,0 +1,100 @@
+package com.example.saga.controller;
+
+import com.example.saga.admission.OrderAdmissionControl;
+import com.example.saga.dto.OrderRequest;
+import com.example.saga.dto.OrderResponse;
+import com.example.saga.model.OrderSaga;
+import com.example.saga.model.SagaStatus;
+import com.example.saga.orchestrator.SagaOrchestrator;
+import com.example.saga.repository.OrderSagaRepository;
+import com.example.saga.stream.SagaStatusStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderControllerTest {
+
+	private SagaOrchestrator sagaOrchestrator;
+	private OrderAdmissionControl admissionControl;
+	private OrderController controller;
+
+	private final OrderRequest request = OrderRequest.builder()
+			.customerId("customer-1")
+			.productId("product-1")
+			.quantity(1)
+			.amount(BigDecimal.TEN)
+			.build();
+
+	@BeforeEach
+	void setUp() {
+		sagaOrchestrator = mock(SagaOrchestrator.class);
+		admissionControl = mock(OrderAdmissionControl.class);
+		controller = new OrderController(sagaOrchestrator, mock(OrderSagaRepository.class),
+				admissionControl, mock(SagaStatusStream.class));
+		when(admissionControl.getRetryAfterSeconds()).thenReturn(5L);
+	}
+
+	@Test
+	void rejectsWithRetryAfterWhenInFlightLimitIsReached() {
+		when(admissionControl.tryAcquire()).thenReturn(OrderAdmissionControl.Decision.IN_FLIGHT_LIMIT);
+
+		ResponseEntity<OrderResponse> response = controller.createOrder(request);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+		assertThat(response.getBody().getMessage()).contains("too many orders are in flight");
+		verifyNoInteractions(sagaOrchestrator);
+	}
+
+	@Test
+	void rejectsWithRetryAfterWhenConsumersLag() {
+		when(admissionControl.tryAcquire()).thenReturn(OrderAdmissionControl.Decision.CONSUMER_LAG);
+
+		ResponseEntity<OrderResponse> response = controller.createOrder(request);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+		assertThat(response.getBody().getMessage()).contains("downstream services are lagging");
+		verifyNoInteractions(sagaOrchestrator);
+	}
+
+	@Test
+	void bindsSlotToStartedSaga() {
+		when(admissionControl.tryAcquire()).thenReturn(OrderAdmissionControl.Decision.ADMITTED);
+		when(sagaOrchestrator.startSaga(any())).thenReturn(OrderSaga.builder()
+				.orderId("order-1")
+				.status(SagaStatus.ORDER_CREATED)
+				.build());
+
+		ResponseEntity<OrderResponse> response = controller.createOrder(request);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		verify(admissionControl).admitted("order-1");
+		verify(admissionControl, never()).release();
+	}
+
+	@Test
+	void releasesSlotWhenSagaFailsToStart() {
+		when(admissionControl.tryAcquire()).thenReturn(OrderAdmissionControl.Decision.ADMITTED);
+		when(sagaOrchestrator.startSaga(any())).thenThrow(new IllegalStateException("broker unavailable"));
+
+		ResponseEntity<OrderResponse> response = controller.createOrder(request);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		verify(admissionControl).release();
+		verify(admissionControl, never()).admitted(anyString());
+	}
+}
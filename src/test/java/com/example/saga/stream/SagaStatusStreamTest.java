@@ -0,0 +1,426 @@
+package com.example.saga.stream;
+
+import com.example.saga.events.SagaStatusChangedEvent;
+import com.example.saga.model.OrderSaga;
+import com.example.saga.model.SagaStatus;
+import com.example.saga.repository.OrderSagaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SagaStatusStreamTest {
+
+	private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+	private OrderSagaRepository sagaRepository;
+	private ManualExecutor executor;
+	private SagaStatusStream stream;
+
+	@BeforeEach
+	void setUp() {
+		sagaRepository = mock(OrderSagaRepository.class);
+		executor = new ManualExecutor();
+		stream = new SagaStatusStream(sagaRepository) {
+			@Override
+			SseEmitter createEmitter() {
+				return new RecordingEmitter();
+			}
+		};
+		ReflectionTestUtils.setField(stream, "timeoutMs", 0L);
+		ReflectionTestUtils.setField(stream, "queueCapacity", 8);
+		useExecutor(executor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		stream.shutdown();
+	}
+
+	@Test
+	void subscribeSendsCurrentStatusFirst() {
+		when(sagaRepository.findByOrderId("order-1"))
+				.thenReturn(Optional.of(saga("order-1", SagaStatus.PAYMENT_PROCESSED, at(1))));
+
+		RecordingEmitter emitter = subscribe("order-1");
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(SagaStatus.PAYMENT_PROCESSED);
+		assertThat(emitter.completed).isFalse();
+	}
+
+	@Test
+	void subscribeToUnknownOrderReturnsEmptyAndUnregisters() {
+		when(sagaRepository.findByOrderId("missing")).thenReturn(Optional.empty());
+
+		assertThat(stream.subscribe("missing")).isEmpty();
+		stream.onStatusChanged(event("missing", SagaStatus.COMPLETED, at(1)));
+
+		assertThat(executor.pending()).isZero();
+	}
+
+	@Test
+	void terminalTransitionCommittedWhileSnapshotLoadsIsNotLost() {
+		// The snapshot was read before the transition committed, so it is stale
+		when(sagaRepository.findByOrderId("order-1")).thenAnswer(invocation -> {
+			stream.onStatusChanged(event("order-1", SagaStatus.COMPLETED, at(2)));
+			return Optional.of(saga("order-1", SagaStatus.INVENTORY_RESERVED, at(1)));
+		});
+
+		RecordingEmitter emitter = subscribe("order-1");
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(SagaStatus.COMPLETED);
+		assertThat(emitter.completed).isTrue();
+	}
+
+	@Test
+	void snapshotIsNotSentAfterNewerTransition() {
+		when(sagaRepository.findByOrderId("order-1")).thenAnswer(invocation -> {
+			stream.onStatusChanged(event("order-1", SagaStatus.PAYMENT_PROCESSED, at(2)));
+			return Optional.of(saga("order-1", SagaStatus.ORDER_CREATED, at(1)));
+		});
+
+		RecordingEmitter emitter = subscribe("order-1");
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(SagaStatus.PAYMENT_PROCESSED);
+	}
+
+	@Test
+	void transitionAlsoSeenBySnapshotIsSentOnce() {
+		when(sagaRepository.findByOrderId("order-1")).thenAnswer(invocation -> {
+			stream.onStatusChanged(event("order-1", SagaStatus.PAYMENT_PROCESSED, at(2)));
+			return Optional.of(saga("order-1", SagaStatus.PAYMENT_PROCESSED, at(2)));
+		});
+
+		RecordingEmitter emitter = subscribe("order-1");
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(SagaStatus.PAYMENT_PROCESSED);
+	}
+
+	@Test
+	void transitionsAfterSnapshotFollowInOrder() {
+		when(sagaRepository.findByOrderId("order-1"))
+				.thenReturn(Optional.of(saga("order-1", SagaStatus.ORDER_CREATED, at(1))));
+
+		RecordingEmitter emitter = subscribe("order-1");
+		stream.onStatusChanged(event("order-1", SagaStatus.PAYMENT_PROCESSED, at(2)));
+		stream.onStatusChanged(event("order-1", SagaStatus.INVENTORY_RESERVED, at(3)));
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(
+				SagaStatus.ORDER_CREATED, SagaStatus.PAYMENT_PROCESSED, SagaStatus.INVENTORY_RESERVED);
+	}
+
+	@Test
+	void staleAndDuplicateTransitionsAreSkipped() {
+		when(sagaRepository.findByOrderId("order-1"))
+				.thenReturn(Optional.of(saga("order-1", SagaStatus.PAYMENT_PROCESSED, at(2))));
+
+		RecordingEmitter emitter = subscribe("order-1");
+		stream.onStatusChanged(event("order-1", SagaStatus.ORDER_CREATED, at(1)));
+		stream.onStatusChanged(event("order-1", SagaStatus.PAYMENT_PROCESSED, at(2)));
+		// Same timestamp but a different status is a real transition
+		stream.onStatusChanged(event("order-1", SagaStatus.INVENTORY_RESERVED, at(2)));
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(
+				SagaStatus.PAYMENT_PROCESSED, SagaStatus.INVENTORY_RESERVED);
+	}
+
+	@Test
+	void terminalStatusClosesOrderStream() {
+		when(sagaRepository.findByOrderId("order-1"))
+				.thenReturn(Optional.of(saga("order-1", SagaStatus.INVENTORY_RESERVED, at(1))));
+
+		RecordingEmitter emitter = subscribe("order-1");
+		stream.onStatusChanged(event("order-1", SagaStatus.COMPLETED, at(2)));
+		stream.onStatusChanged(event("order-1", SagaStatus.COMPENSATED, at(3)));
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(SagaStatus.INVENTORY_RESERVED, SagaStatus.COMPLETED);
+		assertThat(emitter.completed).isTrue();
+
+		stream.onStatusChanged(event("order-1", SagaStatus.COMPENSATED, at(4)));
+		assertThat(executor.pending()).isZero();
+	}
+
+	@Test
+	void terminalSnapshotClosesOrderStream() {
+		when(sagaRepository.findByOrderId("order-1"))
+				.thenReturn(Optional.of(saga("order-1", SagaStatus.FAILED, at(1))));
+
+		RecordingEmitter emitter = subscribe("order-1");
+		executor.runAll();
+
+		assertThat(emitter.statuses()).containsExactly(SagaStatus.FAILED);
+		assertThat(emitter.completed).isTrue();
+	}
+
+	@Test
+	void firehoseAppliesStatusFilter() {
+		RecordingEmitter filtered = (RecordingEmitter) stream.subscribeAll(Set.of(SagaStatus.COMPLETED, SagaStatus.FAILED));
+		RecordingEmitter unfiltered = (RecordingEmitter) stream.subscribeAll(null);
+
+		stream.onStatusChanged(event("order-1", SagaStatus.ORDER_CREATED, at(1)));
+		stream.onStatusChanged(event("order-1", SagaStatus.COMPLETED, at(2)));
+		stream.onStatusChanged(event("order-2", SagaStatus.FAILED, at(3)));
+		executor.runAll();
+
+		assertThat(filtered.statuses()).containsExactly(SagaStatus.COMPLETED, SagaStatus.FAILED);
+		assertThat(unfiltered.statuses()).containsExactly(
+				SagaStatus.ORDER_CREATED, SagaStatus.COMPLETED, SagaStatus.FAILED);
+		assertThat(filtered.completed).isFalse();
+	}
+
+	@Test
+	void drainIsScheduledOncePerBurstAndRearms() {
+		RecordingEmitter emitter = (RecordingEmitter) stream.subscribeAll(null);
+
+		stream.onStatusChanged(event("order-1", SagaStatus.ORDER_CREATED, at(1)));
+		stream.onStatusChanged(event("order-2", SagaStatus.ORDER_CREATED, at(2)));
+		stream.onStatusChanged(event("order-3", SagaStatus.ORDER_CREATED, at(3)));
+		assertThat(executor.pending()).isEqualTo(1);
+
+		executor.runAll();
+		assertThat(emitter.events).hasSize(3);
+
+		stream.onStatusChanged(event("order-4", SagaStatus.ORDER_CREATED, at(4)));
+		assertThat(executor.pending()).isEqualTo(1);
+
+		executor.runAll();
+		assertThat(emitter.events).hasSize(4);
+	}
+
+	@Test
+	void queueOverflowDisconnectsSubscriber() {
+		ReflectionTestUtils.setField(stream, "queueCapacity", 2);
+		RecordingEmitter slow = (RecordingEmitter) stream.subscribeAll(null);
+
+		for (int i = 1; i <= 3; i++) {
+			stream.onStatusChanged(event("order-" + i, SagaStatus.ORDER_CREATED, at(i)));
+		}
+		assertThat(slow.completed).isTrue();
+
+		executor.runAll();
+		assertThat(slow.events).isEmpty();
+
+		stream.onStatusChanged(event("order-4", SagaStatus.ORDER_CREATED, at(4)));
+		assertThat(executor.pending()).isZero();
+	}
+
+	@Test
+	void failedSendDisconnectsSubscriber() {
+		RecordingEmitter broken = (RecordingEmitter) stream.subscribeAll(null);
+		broken.failSends = true;
+
+		stream.onStatusChanged(event("order-1", SagaStatus.ORDER_CREATED, at(1)));
+		executor.runAll();
+		assertThat(broken.completedWithError).isTrue();
+
+		stream.onStatusChanged(event("order-2", SagaStatus.ORDER_CREATED, at(2)));
+		assertThat(executor.pending()).isZero();
+	}
+
+	@Test
+	void heartbeatSendsCommentFrames() {
+		RecordingEmitter emitter = (RecordingEmitter) stream.subscribeAll(null);
+
+		stream.heartbeat();
+		executor.runAll();
+
+		assertThat(emitter.comments).hasSize(1);
+		assertThat(emitter.events).isEmpty();
+	}
+
+	@Test
+	void concurrentPublishersDeliverEveryEventInOrder() throws Exception {
+		ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+		useExecutor(senders);
+		ReflectionTestUtils.setField(stream, "queueCapacity", 10_000);
+		RecordingEmitter emitter = (RecordingEmitter) stream.subscribeAll(null);
+
+		int publishers = 4;
+		int eventsPerPublisher = 500;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < publishers; p++) {
+			String orderId = "publisher-" + p;
+			threads.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < eventsPerPublisher; i++) {
+					stream.onStatusChanged(event(orderId, SagaStatus.ORDER_CREATED, at(i)));
+				}
+			}));
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (emitter.events.size() < publishers * eventsPerPublisher && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+
+		assertThat(emitter.events).hasSize(publishers * eventsPerPublisher);
+		for (int p = 0; p < publishers; p++) {
+			String orderId = "publisher-" + p;
+			List<LocalDateTime> sent = emitter.events.stream()
+					.filter(event -> event.getOrderId().equals(orderId))
+					.map(SagaStatusChangedEvent::getUpdatedAt)
+					.toList();
+			assertThat(sent).isSorted().hasSize(eventsPerPublisher);
+		}
+	}
+
+	private void useExecutor(ExecutorService senders) {
+		ExecutorService previous = (ExecutorService) ReflectionTestUtils.getField(stream, "senders");
+		previous.shutdownNow();
+		ReflectionTestUtils.setField(stream, "senders", senders);
+	}
+
+	private RecordingEmitter subscribe(String orderId) {
+		return (RecordingEmitter) stream.subscribe(orderId).orElseThrow();
+	}
+
+	private static LocalDateTime at(int seconds) {
+		return BASE.plusSeconds(seconds);
+	}
+
+	private static SagaStatusChangedEvent event(String orderId, SagaStatus status, LocalDateTime updatedAt) {
+		return SagaStatusChangedEvent.builder()
+				.orderId(orderId)
+				.status(status)
+				.updatedAt(updatedAt)
+				.build();
+	}
+
+	private static OrderSaga saga(String orderId, SagaStatus status, LocalDateTime updatedAt) {
+		return OrderSaga.builder()
+				.orderId(orderId)
+				.status(status)
+				.updatedAt(updatedAt)
+				.build();
+	}
+
+	/**
+	 * Captures what would be written to the client instead of writing to a response.
+	 */
+	private static class RecordingEmitter extends SseEmitter {
+
+		final List<SagaStatusChangedEvent> events = new CopyOnWriteArrayList<>();
+		final List<String> comments = new CopyOnWriteArrayList<>();
+		volatile boolean failSends;
+		volatile boolean completed;
+		volatile boolean completedWithError;
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (failSends) {
+				throw new IOException("Broken pipe");
+			}
+			boolean hasEvent = false;
+			for (DataWithMediaType data : builder.build()) {
+				if (data.getData() instanceof SagaStatusChangedEvent event) {
+					events.add(event);
+					hasEvent = true;
+				}
+			}
+			if (!hasEvent) {
+				comments.add(builder.toString());
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		@Override
+		public void completeWithError(Throwable ex) {
+			completedWithError = true;
+		}
+
+		List<SagaStatus> statuses() {
+			return events.stream().map(SagaStatusChangedEvent::getStatus).toList();
+		}
+	}
+
+	/**
+	 * Runs submitted drain tasks only when the test asks for it.
+	 */
+	private static class ManualExecutor extends AbstractExecutorService {
+
+		private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+		@Override
+		public void execute(Runnable command) {
+			tasks.add(command);
+		}
+
+		int pending() {
+			return tasks.size();
+		}
+
+		void runAll() {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+
+		@Override
+		public void shutdown() {
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			List<Runnable> remaining = new ArrayList<>(tasks);
+			tasks.clear();
+			return remaining;
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return false;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return false;
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) {
+			return true;
+		}
+	}
+}
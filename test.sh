@@ -16,11 +16,9 @@ do
   ORDER_ID=$(echo $RESPONSE | jq -r '.orderId')
   echo "Order created: $ORDER_ID"
   
-  # Wait a bit before checking status
-  sleep 3
-  
-  # Check final status
-  STATUS=$(curl -s http://localhost:8080/api/orders/$ORDER_ID | jq -r '.status')
+  # Follow the status stream until the saga reaches a terminal status
+  STATUS=$(curl -s -N --max-time 30 http://localhost:8080/api/orders/$ORDER_ID/events \
+    | sed -n 's/^data://p' | tail -n 1 | jq -r '.status')
   echo "Final status: $STATUS"
   echo "---"
 done